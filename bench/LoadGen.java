@@ -0,0 +1,62 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Heartbeat load generator for the health monitor.
+ * Each thread posts heartbeats for 1000 fake services as fast as it can.
+ * The first 3 seconds are warm-up and are not counted.
+ *
+ * Usage: java LoadGen.java <heartbeat url> <threads> <seconds>
+ */
+public class LoadGen {
+
+    private static final int WARMUP_SECONDS = 3;
+
+    public static void main(String[] args) throws Exception {
+        String url = args[0];
+        int threads = Integer.parseInt(args[1]);
+        int seconds = Integer.parseInt(args[2]);
+
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+        AtomicLong ok = new AtomicLong();
+        AtomicLong errors = new AtomicLong();
+        long warmUntil = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        for (int t = 0; t < threads; t++) {
+            final int id = t;
+            pool.submit(() -> {
+                int i = 0;
+                while (System.nanoTime() < end) {
+                    String body = "{\"serviceName\":\"svc-" + ((id * 1000 + i++) % 1000)
+                            + "\",\"host\":\"localhost\",\"port\":1}";
+                    HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                            .header("Content-Type", "application/json")
+                            .POST(HttpRequest.BodyPublishers.ofString(body))
+                            .build();
+                    try {
+                        int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+                        if (System.nanoTime() > warmUntil) {
+                            (status == 200 ? ok : errors).incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+        pool.shutdown();
+        pool.awaitTermination(seconds + 30, TimeUnit.SECONDS);
+
+        System.out.printf("ok=%d err=%d throughput=%.0f req/s%n",
+                ok.get(), errors.get(), ok.get() / (double) (seconds - WARMUP_SECONDS));
+    }
+}
@@ -0,0 +1,17 @@
+# Copies stdin to a file at about 8 KB/s, to simulate a slow log destination.
+# Usage: java -jar monitor.jar | python3 slow-sink.py monitor.log
+import os
+import sys
+import time
+
+CHUNK = 4096
+BYTES_PER_SECOND = 8192
+
+out = open(sys.argv[1], 'wb')
+while True:
+    data = os.read(0, CHUNK)
+    if not data:
+        break
+    out.write(data)
+    out.flush()
+    time.sleep(CHUNK / BYTES_PER_SECOND)
@@ -0,0 +1,538 @@
+package com.selfhealing.monitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.annotation.PreDestroy;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Built-in chaos scheduler for recovery benchmarking.
+ * Runs scripted or randomized fault campaigns against the monitored services
+ * and writes a JSON report with detection latency and time-to-recover per fault.
+ *
+ * It stops and pauses real containers, so it only exists when chaos.enabled=true.
+ * Only the leader detects failures, so faults are only injected while this
+ * node is leader; with HA on, the endpoints answer 409 on the standby.
+ */
+@Component
+@ConditionalOnProperty(name = "chaos.enabled", havingValue = "true")
+public class ChaosEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChaosEngine.class);
+
+    @Autowired
+    private DockerManager dockerManager;
+
+    @Autowired
+    private HeartbeatFaultInjector heartbeatFaultInjector;
+
+    @Autowired
+    private RecoveryTracker recoveryTracker;
+
+    @Autowired
+    private HealthMonitorController controller;
+
+    @Autowired
+    private LeaderElector leaderElector;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${chaos.report-dir:chaos-reports}")
+    private String reportDir;
+
+    // How long to wait for detected faults to recover before closing a campaign
+    @Value("${chaos.recovery-timeout-seconds:120}")
+    private long recoveryTimeoutSeconds;
+
+    // Finished campaigns kept in memory for GET /campaigns; older ones live only in report-dir
+    @Value("${chaos.max-finished-campaigns:20}")
+    private int maxFinishedCampaigns;
+
+    // How long after a fault window ends it may still be detected
+    @Value("${chaos.detection-grace-seconds:30}")
+    private long detectionGraceSeconds;
+
+    // Timing only: injection, fault expiry and completion polling. Never blocks on Docker.
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(2);
+    // Docker stop/pause/unpause calls; grows to one thread per concurrent target
+    // so "kill N at once" really runs N calls in parallel
+    private final ExecutorService dockerCalls = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "chaos-docker");
+        t.setDaemon(true);
+        return t;
+    });
+    private final Map<String, CampaignRun> campaigns = new ConcurrentHashMap<>();
+    private final AtomicLong campaignCounter = new AtomicLong();
+    private final Deque<String> finishedCampaigns = new ConcurrentLinkedDeque<>();
+    // Open DOCKER_LATENCY windows by token; the Docker API is slowed by the largest.
+    // Each window removes only its own token, so overlapping windows don't cut each other short
+    private final Map<Long, Long> latencyWindows = new ConcurrentHashMap<>();
+    private final AtomicLong latencyTokens = new AtomicLong();
+
+    /**
+     * Start a scripted campaign.
+     *
+     * @param campaign Faults to inject and when
+     * @return Initial report (status RUNNING)
+     */
+    public Map<String, Object> startCampaign(ChaosCampaign campaign) {
+        if (campaign.getFaults() == null || campaign.getFaults().isEmpty()) {
+            throw new IllegalArgumentException("Campaign has no faults");
+        }
+        for (FaultSpec spec : campaign.getFaults()) {
+            if (spec.getType() == null) {
+                throw new IllegalArgumentException("Every fault needs a type");
+            }
+        }
+
+        String id = "chaos-" + campaignCounter.incrementAndGet() + "-" + System.currentTimeMillis();
+        CampaignRun run = new CampaignRun(id, campaign.getName(), campaign.getFaults().size(),
+                campaign.getSeed() == null ? new Random() : new Random(campaign.getSeed()));
+        campaigns.put(id, run);
+
+        long lastWindowEnd = 0;
+        for (FaultSpec spec : campaign.getFaults()) {
+            long startMillis = TimeUnit.SECONDS.toMillis(spec.getStartAfterSeconds());
+            lastWindowEnd = Math.max(lastWindowEnd, startMillis + TimeUnit.SECONDS.toMillis(spec.getDurationSeconds()));
+            scheduler.schedule(() -> inject(run, spec), startMillis, TimeUnit.MILLISECONDS);
+        }
+
+        run.windowEndMillis = run.startedAt + lastWindowEnd;
+        run.deadlineMillis = run.windowEndMillis + TimeUnit.SECONDS.toMillis(recoveryTimeoutSeconds);
+        run.poller = scheduler.scheduleAtFixedRate(() -> checkCompletion(run), 1, 1, TimeUnit.SECONDS);
+
+        logger.warn("🧨 Chaos campaign {} started with {} faults", id, campaign.getFaults().size());
+        return buildReport(run);
+    }
+
+    /**
+     * Start a randomized campaign: one fault every intervalSeconds, random type and targets.
+     */
+    public Map<String, Object> startRandomCampaign(int faultCount, long intervalSeconds,
+                                                   long durationSeconds, Long seed) {
+        Random random = seed == null ? new Random() : new Random(seed);
+        FaultType[] types = FaultType.values();
+        int serviceCount = Math.max(1, controller.getServices().size());
+
+        List<FaultSpec> faults = new ArrayList<>();
+        for (int i = 0; i < faultCount; i++) {
+            FaultSpec spec = new FaultSpec();
+            spec.setType(types[random.nextInt(types.length)]);
+            spec.setStartAfterSeconds(i * intervalSeconds);
+            spec.setDurationSeconds(durationSeconds);
+            spec.setCount(spec.getType() == FaultType.KILL ? 1 + random.nextInt(serviceCount) : 1);
+            spec.setDelayMillis(500 + random.nextInt(4500));
+            faults.add(spec);
+        }
+
+        ChaosCampaign campaign = new ChaosCampaign();
+        campaign.setName("random");
+        campaign.setFaults(faults);
+        campaign.setSeed(seed);
+        return startCampaign(campaign);
+    }
+
+    public Map<String, Object> getReport(String campaignId) {
+        CampaignRun run = campaigns.get(campaignId);
+        return run == null ? null : buildReport(run);
+    }
+
+    public List<Map<String, Object>> getReports() {
+        List<Map<String, Object>> reports = new ArrayList<>();
+        for (CampaignRun run : campaigns.values()) {
+            reports.add(buildReport(run));
+        }
+        return reports;
+    }
+
+    /**
+     * Remove every active fault (heartbeat rules and Docker latency).
+     * Stopped or paused containers are left to the normal self-healing path.
+     */
+    public void clearFaults() {
+        heartbeatFaultInjector.clearAll();
+        latencyWindows.clear();
+        applyLatency();
+        logger.info("🧹 All injected faults cleared");
+    }
+
+    private void inject(CampaignRun run, FaultSpec spec) {
+        try {
+            long durationMillis = TimeUnit.SECONDS.toMillis(spec.getDurationSeconds());
+            long until = System.currentTimeMillis() + durationMillis;
+            String type = spec.getType().name();
+
+            if (!leaderElector.isLeader()) {
+                // Leadership moved mid-campaign: a fault here would never be detected or measured
+                logger.warn("🧨 [{}] Skipping {}: this node is no longer leader", run.id, type);
+                recoveryTracker.markFailed(recoveryTracker.recordInjection(run.id, type, null), "not leader");
+                return;
+            }
+
+            if (spec.getType() == FaultType.DOCKER_LATENCY) {
+                recoveryTracker.recordInjection(run.id, type, null);
+                logger.warn("🧨 [{}] Docker API latency {} ms for {} s", run.id, spec.getDelayMillis(), spec.getDurationSeconds());
+                long token = latencyTokens.incrementAndGet();
+                latencyWindows.put(token, spec.getDelayMillis());
+                applyLatency();
+                scheduler.schedule(() -> {
+                    latencyWindows.remove(token);
+                    applyLatency();
+                }, durationMillis, TimeUnit.MILLISECONDS);
+                return;
+            }
+
+            for (String target : resolveTargets(run, spec)) {
+                logger.warn("🧨 [{}] Injecting {} on {}", run.id, type, target);
+
+                switch (spec.getType()) {
+                    case KILL:
+                        runDockerFault(run, type, target, () -> dockerManager.stopContainer(target), null);
+                        break;
+                    case PAUSE:
+                        // Window starts once the pause returns: a slow Docker API can't make the unpause run first.
+                        // Scheduled even if the pause reported failure, a timed-out call may still have gone through
+                        runDockerFault(run, type, target, () -> dockerManager.pauseContainer(target),
+                                () -> scheduler.schedule(() -> dockerCalls.execute(() -> dockerManager.unpauseContainer(target)),
+                                        durationMillis, TimeUnit.MILLISECONDS));
+                        break;
+                    case HEARTBEAT_DROP:
+                        recoveryTracker.recordInjection(run.id, type, target);
+                        heartbeatFaultInjector.dropUntil(target, until);
+                        break;
+                    case HEARTBEAT_DELAY:
+                        recoveryTracker.recordInjection(run.id, type, target);
+                        heartbeatFaultInjector.delayUntil(target, spec.getDelayMillis(), until);
+                        break;
+                    default:
+                        break;
+                }
+            }
+        } catch (Exception e) {
+            logger.error("❌ [{}] Failed to inject {}: {}", run.id, spec.getType(), e.getMessage());
+        } finally {
+            run.pendingInjections.decrementAndGet();
+        }
+    }
+
+    private synchronized void applyLatency() {
+        long latency = 0;
+        for (long delay : latencyWindows.values()) {
+            latency = Math.max(latency, delay);
+        }
+        dockerManager.setInjectedLatencyMillis(latency);
+    }
+
+    /**
+     * Run one Docker fault off the scheduler. The fault is recorded when the
+     * call returns, i.e. when the container is actually stopped or paused,
+     * so detection latency isn't inflated by a slow Docker API.
+     *
+     * @param afterCall Runs once the call has returned (may be null)
+     */
+    private void runDockerFault(CampaignRun run, String type, String target, BooleanSupplier call, Runnable afterCall) {
+        run.pendingInjections.incrementAndGet();
+        dockerCalls.execute(() -> {
+            try {
+                boolean success = call.getAsBoolean();
+                RecoveryTracker.FaultRecord record = recoveryTracker.recordInjection(run.id, type, target);
+                if (!success) {
+                    recoveryTracker.markFailed(record, type.toLowerCase() + " failed");
+                }
+                if (afterCall != null) {
+                    afterCall.run();
+                }
+            } finally {
+                run.pendingInjections.decrementAndGet();
+            }
+        });
+    }
+
+    private List<String> resolveTargets(CampaignRun run, FaultSpec spec) {
+        if (spec.getTargets() != null && !spec.getTargets().isEmpty()) {
+            return spec.getTargets();
+        }
+
+        List<String> candidates = new ArrayList<>(controller.getServices().keySet());
+        Collections.sort(candidates);
+        Collections.shuffle(candidates, run.random);
+        return candidates.subList(0, Math.min(Math.max(1, spec.getCount()), candidates.size()));
+    }
+
+    private void checkCompletion(CampaignRun run) {
+        try {
+            if (run.pendingInjections.get() > 0) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            if (now >= run.windowEndMillis + TimeUnit.SECONDS.toMillis(detectionGraceSeconds)) {
+                recoveryTracker.closeUndetected(run.id);
+            }
+
+            boolean settled = now >= run.windowEndMillis && recoveryTracker.isCampaignSettled(run.id);
+            if (settled || now >= run.deadlineMillis) {
+                finish(run);
+            }
+        } catch (Exception e) {
+            logger.error("❌ [{}] Completion check failed: {}", run.id, e.getMessage());
+        }
+    }
+
+    private void finish(CampaignRun run) {
+        recoveryTracker.closeCampaign(run.id);
+        run.finishedAt = System.currentTimeMillis();
+        run.poller.cancel(false);
+
+        Map<String, Object> report = buildReport(run);
+        try {
+            Path dir = Paths.get(reportDir);
+            Files.createDirectories(dir);
+            Path file = dir.resolve(run.id + ".json");
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(file.toFile(), report);
+            logger.info("📄 Chaos campaign {} finished, report written to {}", run.id, file.toAbsolutePath());
+        } catch (Exception e) {
+            logger.error("❌ Failed to write chaos report for {}: {}", run.id, e.getMessage());
+        }
+
+        finishedCampaigns.addLast(run.id);
+        while (finishedCampaigns.size() > maxFinishedCampaigns) {
+            String evicted = finishedCampaigns.pollFirst();
+            if (evicted != null) {
+                campaigns.remove(evicted);
+                recoveryTracker.forgetCampaign(evicted);
+            }
+        }
+    }
+
+    private Map<String, Object> buildReport(CampaignRun run) {
+        List<RecoveryTracker.FaultRecord> records = recoveryTracker.getRecords(run.id);
+        List<Long> detection = new ArrayList<>();
+        List<Long> recovery = new ArrayList<>();
+        for (RecoveryTracker.FaultRecord record : records) {
+            if (record.getDetectionLatencyMs() != null) {
+                detection.add(record.getDetectionLatencyMs());
+            }
+            if (record.getTimeToRecoverMs() != null) {
+                recovery.add(record.getTimeToRecoverMs());
+            }
+        }
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("faultsInjected", records.size());
+        summary.put("faultsDetected", detection.size());
+        summary.put("faultsRecovered", recovery.size());
+        summary.put("detectionLatencyMs", stats(detection));
+        summary.put("timeToRecoverMs", stats(recovery));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("campaignId", run.id);
+        report.put("name", run.name);
+        report.put("status", run.finishedAt == null ? "RUNNING" : "COMPLETED");
+        report.put("startedAt", run.startedAt);
+        report.put("finishedAt", run.finishedAt);
+        report.put("summary", summary);
+        report.put("faults", records);
+        return report;
+    }
+
+    private static Map<String, Object> stats(List<Long> values) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        if (values.isEmpty()) {
+            return stats;
+        }
+        List<Long> sorted = new ArrayList<>(values);
+        Collections.sort(sorted);
+        long sum = 0;
+        for (long v : sorted) {
+            sum += v;
+        }
+        stats.put("min", sorted.get(0));
+        stats.put("mean", sum / sorted.size());
+        stats.put("p50", sorted.get((sorted.size() - 1) / 2));
+        stats.put("p95", sorted.get((int) Math.ceil(sorted.size() * 0.95) - 1));
+        stats.put("max", sorted.get(sorted.size() - 1));
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+        dockerCalls.shutdownNow();
+        clearFaults();
+    }
+
+    private static final class CampaignRun {
+        final String id;
+        final String name;
+        final long startedAt = System.currentTimeMillis();
+        final AtomicInteger pendingInjections;
+        final Random random;
+        volatile long windowEndMillis;
+        volatile long deadlineMillis;
+        volatile Long finishedAt;
+        volatile ScheduledFuture<?> poller;
+
+        CampaignRun(String id, String name, int faultCount, Random random) {
+            this.id = id;
+            this.name = name;
+            this.pendingInjections = new AtomicInteger(faultCount);
+            this.random = random;
+        }
+    }
+}
+
+enum FaultType {
+    KILL,             // docker stop
+    PAUSE,            // docker pause, unpaused after durationSeconds
+    HEARTBEAT_DROP,   // heartbeats ignored at ingestion for durationSeconds
+    HEARTBEAT_DELAY,  // heartbeats held for delayMillis at ingestion for durationSeconds
+    DOCKER_LATENCY    // every Docker API call slowed by delayMillis for durationSeconds
+}
+
+// One fault in a campaign
+class FaultSpec {
+    private FaultType type;
+    private List<String> targets;
+    private int count = 1;
+    private long startAfterSeconds;
+    private long durationSeconds = 30;
+    private long delayMillis = 2000;
+
+    public FaultSpec() {}
+
+    public FaultType getType() { return type; }
+    public void setType(FaultType type) { this.type = type; }
+
+    public List<String> getTargets() { return targets; }
+    public void setTargets(List<String> targets) { this.targets = targets; }
+
+    public int getCount() { return count; }
+    public void setCount(int count) { this.count = count; }
+
+    public long getStartAfterSeconds() { return startAfterSeconds; }
+    public void setStartAfterSeconds(long startAfterSeconds) { this.startAfterSeconds = startAfterSeconds; }
+
+    public long getDurationSeconds() { return durationSeconds; }
+    public void setDurationSeconds(long durationSeconds) { this.durationSeconds = durationSeconds; }
+
+    public long getDelayMillis() { return delayMillis; }
+    public void setDelayMillis(long delayMillis) { this.delayMillis = delayMillis; }
+}
+
+// Scripted campaign request body
+class ChaosCampaign {
+    private String name;
+    private Long seed;
+    private List<FaultSpec> faults;
+
+    public ChaosCampaign() {}
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+
+    public List<FaultSpec> getFaults() { return faults; }
+    public void setFaults(List<FaultSpec> faults) { this.faults = faults; }
+}
+
+@RestController
+@RequestMapping("/monitor/chaos")
+@ConditionalOnProperty(name = "chaos.enabled", havingValue = "true")
+@CrossOrigin(origins = "*")
+class ChaosController {
+
+    @Autowired
+    private ChaosEngine chaosEngine;
+
+    @Autowired
+    private LeaderElector leaderElector;
+
+    @PostMapping("/campaigns")
+    public Map<String, Object> startCampaign(@RequestBody ChaosCampaign campaign) {
+        requireLeader();
+        try {
+            return chaosEngine.startCampaign(campaign);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    @PostMapping("/random")
+    public Map<String, Object> startRandomCampaign(@RequestParam(defaultValue = "5") int faults,
+                                                   @RequestParam(defaultValue = "30") long intervalSeconds,
+                                                   @RequestParam(defaultValue = "20") long durationSeconds,
+                                                   @RequestParam(required = false) Long seed) {
+        requireLeader();
+        if (faults <= 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "faults must be positive");
+        }
+        return chaosEngine.startRandomCampaign(faults, intervalSeconds, durationSeconds, seed);
+    }
+
+    @GetMapping("/campaigns")
+    public List<Map<String, Object>> getCampaigns() {
+        requireLeader();
+        return chaosEngine.getReports();
+    }
+
+    @GetMapping("/campaigns/{id}")
+    public Map<String, Object> getCampaign(@PathVariable String id) {
+        requireLeader();
+        Map<String, Object> report = chaosEngine.getReport(id);
+        if (report == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown campaign: " + id);
+        }
+        return report;
+    }
+
+    @PostMapping("/stop")
+    public Map<String, String> stop() {
+        // Allowed on any node: clears what this node injected while it was leader
+        chaosEngine.clearFaults();
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "All injected faults cleared");
+        return response;
+    }
+
+    // Heartbeat faults on a standby hit a node that does no detection, and only
+    // the leader's FailureDetector feeds RecoveryTracker
+    private void requireLeader() {
+        if (!leaderElector.isLeader()) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Chaos runs on the leader (" + leaderElector.getLeaderId() + "), this node is standby");
+        }
+    }
+}
@@ -10,6 +10,7 @@ import com.github.dockerjava.httpclient5.ApacheDockerHttpClient;
 import com.github.dockerjava.transport.DockerHttpClient;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
@@ -28,6 +29,13 @@ public class DockerManager {
     
     private DockerClient dockerClient;
     
+    // unix socket by default; point at tcp://localhost:2375 to run against a local Docker API stub
+    @Value("${docker.host:unix:///var/run/docker.sock}")
+    private String dockerHost;
+    
+    // Artificial delay added before every Docker API call (used by ChaosEngine)
+    private volatile long injectedLatencyMillis = 0;
+    
     /**
      * Initialize Docker client when component starts.
      * This runs automatically when Spring creates this bean.
@@ -37,7 +45,7 @@ public class DockerManager {
         try {
             // Configure Docker client
             DockerClientConfig config = DefaultDockerClientConfig.createDefaultConfigBuilder()
-        .withDockerHost("unix:///var/run/docker.sock")
+        .withDockerHost(dockerHost)
         .build();
 
 DockerHttpClient httpClient = new ApacheDockerHttpClient.Builder()
@@ -46,7 +54,7 @@ DockerHttpClient httpClient = new ApacheDockerHttpClient.Builder()
 
 dockerClient = DockerClientImpl.getInstance(config, httpClient);
 
-            logger.info("✅ Docker Manager initialized successfully");
+            logger.info("✅ Docker Manager initialized successfully ({})", dockerHost);
             
             // Test connection by listing containers
             testConnection();
@@ -87,6 +95,8 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
      */
     public String findContainerIdByName(String serviceName) {
         try {
+            applyInjectedLatency();
+            
             List<Container> containers = dockerClient.listContainersCmd()
                     .withShowAll(true) // Include stopped containers
                     .exec();
@@ -130,6 +140,7 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
             }
             
             // Step 2: Check current state
+            applyInjectedLatency();
             InspectContainerResponse containerInfo = dockerClient.inspectContainerCmd(containerId).exec();
             Boolean isRunning = containerInfo.getState().getRunning();
             
@@ -137,6 +148,7 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
                     serviceName, containerId.substring(0, 12), isRunning);
             
             // Step 3: Restart the container
+            applyInjectedLatency();
             dockerClient.restartContainerCmd(containerId)
                     .withTimeout(10) // Wait max 10 seconds
                     .exec();
@@ -181,6 +193,7 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
             }
             
             logger.info("▶️ Starting container for {}", serviceName);
+            applyInjectedLatency();
             dockerClient.startContainerCmd(containerId).exec();
             
             logger.info("✅ Started container for {}", serviceName);
@@ -208,6 +221,7 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
             }
             
             logger.info("⏸️ Stopping container for {}", serviceName);
+            applyInjectedLatency();
             dockerClient.stopContainerCmd(containerId)
                     .withTimeout(10)
                     .exec();
@@ -221,6 +235,62 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
         }
     }
     
+    /**
+     * Pause a running container (freezes all its processes).
+     * 
+     * @param serviceName Name of the service to pause
+     * @return true if pause was successful
+     */
+    public boolean pauseContainer(String serviceName) {
+        try {
+            String containerId = findContainerIdByName(serviceName);
+            
+            if (containerId == null) {
+                logger.error("❌ Cannot pause {}: Container not found", serviceName);
+                return false;
+            }
+            
+            logger.info("⏸️ Pausing container for {}", serviceName);
+            applyInjectedLatency();
+            dockerClient.pauseContainerCmd(containerId).exec();
+            
+            logger.info("✅ Paused container for {}", serviceName);
+            return true;
+            
+        } catch (Exception e) {
+            logger.error("❌ Failed to pause {}: {}", serviceName, e.getMessage());
+            return false;
+        }
+    }
+    
+    /**
+     * Unpause a paused container.
+     * 
+     * @param serviceName Name of the service to unpause
+     * @return true if unpause was successful
+     */
+    public boolean unpauseContainer(String serviceName) {
+        try {
+            String containerId = findContainerIdByName(serviceName);
+            
+            if (containerId == null) {
+                logger.error("❌ Cannot unpause {}: Container not found", serviceName);
+                return false;
+            }
+            
+            logger.info("▶️ Unpausing container for {}", serviceName);
+            applyInjectedLatency();
+            dockerClient.unpauseContainerCmd(containerId).exec();
+            
+            logger.info("✅ Unpaused container for {}", serviceName);
+            return true;
+            
+        } catch (Exception e) {
+            logger.error("❌ Failed to unpause {}: {}", serviceName, e.getMessage());
+            return false;
+        }
+    }
+    
     /**
      * Get container status.
      * 
@@ -235,6 +305,7 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
                 return "not_found";
             }
             
+            applyInjectedLatency();
             InspectContainerResponse containerInfo = dockerClient.inspectContainerCmd(containerId).exec();
             return containerInfo.getState().getStatus();
             
@@ -244,6 +315,27 @@ dockerClient = DockerClientImpl.getInstance(config, httpClient);
         }
     }
     
+    /**
+     * Slow down every subsequent Docker API call by the given amount.
+     * Set to 0 to remove the injected latency.
+     * 
+     * @param millis Delay in milliseconds
+     */
+    public void setInjectedLatencyMillis(long millis) {
+        this.injectedLatencyMillis = Math.max(0, millis);
+    }
+    
+    public long getInjectedLatencyMillis() {
+        return injectedLatencyMillis;
+    }
+    
+    private void applyInjectedLatency() throws InterruptedException {
+        long delay = injectedLatencyMillis;
+        if (delay > 0) {
+            Thread.sleep(delay);
+        }
+    }
+    
     /**
      * Cleanup when component is destroyed.
      */
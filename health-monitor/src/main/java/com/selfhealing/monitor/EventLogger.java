@@ -0,0 +1,167 @@
+package com.selfhealing.monitor;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Asynchronous structured event log for the hot heartbeat path.
+ *
+ * Request threads only put an event into a lock-free RingBuffer (or bump a
+ * counter for plain heartbeats) and return. A single writer thread turns
+ * events into one-line JSON on the "com.selfhealing.monitor.events" logger.
+ * When the buffer is full events are dropped and counted, never waited on.
+ *
+ * Individual heartbeats are not logged; they are aggregated into a
+ * heartbeat_summary event (or logged one by one when the events logger is at DEBUG).
+ */
+@Component
+public class EventLogger {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLogger.class);
+    private static final Logger events = LoggerFactory.getLogger("com.selfhealing.monitor.events");
+    private static final long IDLE_PARK_NANOS = 10_000_000;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${events.buffer-size:8192}")
+    private int bufferSize;
+
+    private RingBuffer<Event> buffer;
+    private Thread writer;
+    private volatile boolean running = true;
+
+    private final LongAdder heartbeats = new LongAdder();
+    private final Set<String> heartbeatServices = ConcurrentHashMap.newKeySet();
+    private final LongAdder dropped = new LongAdder();
+    private long lastSummaryAt = System.currentTimeMillis();
+
+    @PostConstruct
+    public void init() {
+        buffer = new RingBuffer<>(bufferSize);
+        writer = new Thread(this::drain, "event-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+        logger.info("📝 Async event log started (buffer {})", buffer.capacity());
+    }
+
+    /**
+     * Count a heartbeat. Cheap enough for every request.
+     */
+    public void heartbeat(String serviceName) {
+        heartbeats.increment();
+        heartbeatServices.add(serviceName);
+        if (events.isDebugEnabled()) {
+            event("heartbeat", "service", serviceName);
+        }
+    }
+
+    /**
+     * Queue a structured event. Never blocks; drops the event if the buffer is full.
+     *
+     * @param type   Event name, e.g. "service_dead"
+     * @param fields Alternating key / value pairs
+     */
+    public void event(String type, Object... fields) {
+        if (!buffer.offer(new Event(System.currentTimeMillis(), type, fields))) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * One aggregated line instead of one line per heartbeat.
+     */
+    @Scheduled(fixedRateString = "${events.heartbeat-summary-ms:10000}")
+    public void summarizeHeartbeats() {
+        long now = System.currentTimeMillis();
+        long count = heartbeats.sumThenReset();
+        int services = heartbeatServices.size();
+        heartbeatServices.clear();
+
+        if (count > 0) {
+            long windowMs = now - lastSummaryAt;
+            event("heartbeat_summary", "count", count, "services", services,
+                    "windowMs", windowMs, "perSecond", count * 1000 / Math.max(1, windowMs));
+        }
+        lastSummaryAt = now;
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    private void drain() {
+        long lastDropReport = System.currentTimeMillis();
+        while (running) {
+            Event event = buffer.poll();
+            if (event == null) {
+                // Nothing queued: nap instead of spinning, log latency doesn't matter here
+                LockSupport.parkNanos(IDLE_PARK_NANOS);
+            } else {
+                write(event);
+            }
+
+            long now = System.currentTimeMillis();
+            if (now - lastDropReport >= 1000) {
+                lastDropReport = now;
+                long lost = dropped.sumThenReset();
+                if (lost > 0) {
+                    write(new Event(now, "events_dropped", new Object[] {"count", lost}));
+                }
+            }
+        }
+
+        // Flush what is left on shutdown
+        Event event;
+        while ((event = buffer.poll()) != null) {
+            write(event);
+        }
+    }
+
+    private void write(Event event) {
+        try {
+            Map<String, Object> line = new LinkedHashMap<>();
+            line.put("ts", Instant.ofEpochMilli(event.timestamp).toString());
+            line.put("event", event.type);
+            for (int i = 0; i + 1 < event.fields.length; i += 2) {
+                line.put(String.valueOf(event.fields[i]), event.fields[i + 1]);
+            }
+            events.info(objectMapper.writeValueAsString(line));
+        } catch (Exception e) {
+            logger.error("❌ Failed to write event {}: {}", event.type, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        writer.join(2000);
+    }
+
+    private static final class Event {
+        final long timestamp;
+        final String type;
+        final Object[] fields;
+
+        Event(long timestamp, String type, Object[] fields) {
+            this.timestamp = timestamp;
+            this.type = type;
+            this.fields = fields;
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.selfhealing.monitor;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@RestController
+@RequestMapping("/monitor")
+@CrossOrigin(origins = "*")
+class HealthMonitorController {
+    
+    private final Map<String, ServiceInfo> services = new ConcurrentHashMap<>();
+    private final DateTimeFormatter formatter = DateTimeFormatter.ofPattern("HH:mm:ss");
+    
+    @Autowired
+    private HeartbeatFaultInjector heartbeatFaultInjector;
+    
+    @Autowired
+    private RecoveryTracker recoveryTracker;
+    
+    @Autowired
+    private ReplicationHub replicationHub;
+    
+    @Autowired
+    private LeaderElector leaderElector;
+    
+    @Autowired
+    private EventLogger eventLogger;
+    
+    // Expose services map for FailureDetector
+    public Map<String, ServiceInfo> getServices() {
+        return services;
+    }
+    
+    /**
+     * Merge a ServiceInfo streamed from the leader into the local map.
+     * Status comes from the leader; the newest heartbeat time wins, since
+     * this node may also receive heartbeats directly.
+     */
+    public void applyReplicatedState(ServiceInfo replica) {
+        ServiceInfo existing = services.putIfAbsent(replica.getServiceName(), replica);
+        if (existing == null) {
+            return;
+        }
+        existing.setHost(replica.getHost());
+        existing.setPort(replica.getPort());
+        if (replica.getLastHeartbeat() != null && (existing.getLastHeartbeat() == null
+                || replica.getLastHeartbeat().isAfter(existing.getLastHeartbeat()))) {
+            existing.setLastHeartbeat(replica.getLastHeartbeat());
+        }
+        existing.setStatus(replica.getStatus());
+        existing.setLastStatusChange(replica.getLastStatusChange());
+        existing.setProbeStatus(replica.getProbeStatus());
+        existing.setLastProbeLatencyMs(replica.getLastProbeLatencyMs());
+        existing.setRestartPending(replica.isRestartPending());
+    }
+    
+    @PostMapping("/register")
+    public Map<String, String> registerService(@RequestBody ServiceInfo serviceInfo) {
+        serviceInfo.setLastHeartbeat(LocalDateTime.now());
+        serviceInfo.setStatus("HEALTHY");
+        serviceInfo.setLastStatusChange(LocalDateTime.now());
+        clearMonitorState(serviceInfo);
+        services.put(serviceInfo.getServiceName(), serviceInfo);
+        replicationHub.markDirty(serviceInfo);
+        
+        eventLogger.event("service_registered", "service", serviceInfo.getServiceName(),
+                "host", serviceInfo.getHost(), "port", serviceInfo.getPort());
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Service registered successfully");
+        response.put("serviceName", serviceInfo.getServiceName());
+        response.put("status", "HEALTHY");
+        return response;
+    }
+    
+    @PostMapping("/heartbeat")
+    public Map<String, String> receiveHeartbeat(@RequestBody ServiceInfo serviceInfo) {
+        // Chaos: heartbeat may be dropped or delayed at ingestion
+        if (!heartbeatFaultInjector.admit(serviceInfo.getServiceName())) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", "Heartbeat dropped");
+            response.put("serviceName", serviceInfo.getServiceName());
+            return response;
+        }
+        
+        ServiceInfo existing = services.get(serviceInfo.getServiceName());
+        LocalDateTime now = LocalDateTime.now();
+        
+        if (!leaderElector.isLeader()) {
+            // Standby: status and transitions come from the leader via replication,
+            // only keep the heartbeat time fresh for a warm takeover
+            if (existing != null) {
+                existing.setLastHeartbeat(now);
+            } else {
+                serviceInfo.setStatus("HEALTHY");
+                serviceInfo.setLastHeartbeat(now);
+                serviceInfo.setLastStatusChange(now);
+                clearMonitorState(serviceInfo);
+                services.putIfAbsent(serviceInfo.getServiceName(), serviceInfo);
+            }
+        } else if (existing == null) {
+            // Auto-register
+            serviceInfo.setStatus("HEALTHY");
+            serviceInfo.setLastHeartbeat(now);
+            serviceInfo.setLastStatusChange(now);
+            clearMonitorState(serviceInfo);
+            services.put(serviceInfo.getServiceName(), serviceInfo);
+            replicationHub.markDirty(serviceInfo);
+            eventLogger.event("service_auto_registered", "service", serviceInfo.getServiceName(),
+                    "host", serviceInfo.getHost(), "port", serviceInfo.getPort());
+        } else {
+            // Update existing service
+            String previousStatus = existing.getStatus();
+            existing.setLastHeartbeat(now);
+            
+            // If service was dead and now sending heartbeat, mark as recovered
+            // (unless its /health endpoint is still failing probes)
+            if ("DEAD".equals(previousStatus) && !"DOWN".equals(existing.getProbeStatus())) {
+                existing.setStatus("HEALTHY");
+                existing.setLastStatusChange(now);
+                existing.setRestartPending(false);
+                eventLogger.event("service_recovered", "service", serviceInfo.getServiceName(),
+                        "previousStatus", previousStatus, "source", "heartbeat");
+                recoveryTracker.onServiceRecovered(serviceInfo.getServiceName());
+            } else if (!"DEAD".equals(previousStatus)) {
+                existing.setStatus("HEALTHY");
+            }
+            replicationHub.markDirty(existing);
+        }
+        // Counted and summarized asynchronously, not printed per heartbeat
+        eventLogger.heartbeat(serviceInfo.getServiceName());
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Heartbeat received");
+        response.put("serviceName", serviceInfo.getServiceName());
+        response.put("timestamp", now.format(formatter));
+        return response;
+    }
+    
+    // Probe and restart fields are owned by the monitor; never trust them from a request body
+    private void clearMonitorState(ServiceInfo serviceInfo) {
+        serviceInfo.setProbeStatus("UNKNOWN");
+        serviceInfo.setLastProbeLatencyMs(0);
+        serviceInfo.setRestartPending(false);
+    }
+    
+    @GetMapping("/services")
+    public Map<String, Object> getAllServices() {
+        Map<String, Object> response = new HashMap<>();
+        response.put("totalServices", services.size());
+        response.put("services", services);
+        response.put("timestamp", LocalDateTime.now().format(formatter));
+        return response;
+    }
+    
+    @GetMapping("/health")
+    public Map<String, String> health() {
+        long healthyCount = services.values().stream()
+            .filter(s -> "HEALTHY".equals(s.getStatus()))
+            .count();
+        long deadCount = services.values().stream()
+            .filter(s -> "DEAD".equals(s.getStatus()))
+            .count();
+        
+        Map<String, String> response = new HashMap<>();
+        response.put("status", "Health Monitor is running!");
+        response.put("monitoringServices", String.valueOf(services.size()));
+        response.put("healthyServices", String.valueOf(healthyCount));
+        response.put("deadServices", String.valueOf(deadCount));
+        response.put("role", leaderElector.isLeader() ? "LEADER" : "STANDBY");
+        response.put("nodeId", leaderElector.getNodeId());
+        response.put("timestamp", LocalDateTime.now().format(formatter));
+        return response;
+    }
+}
@@ -0,0 +1,313 @@
+package com.selfhealing.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Actively probes each registered service's /health endpoint.
+ * Heartbeats only prove the scheduler thread is alive; a probe proves the
+ * HTTP stack still answers. Probes are sent with a non-blocking client,
+ * so thousands can be in flight without a thread per request.
+ *
+ * Probe status per service:
+ *   UNKNOWN - no verdict yet (new or just restarted), heartbeats decide
+ *   UP      - last probe succeeded
+ *   DOWN    - failure-threshold failures in a row spanning at least down-after-ms,
+ *             after the endpoint answered once or after startup-grace-ms
+ *
+ * A re-registered instance, or one whose heartbeats come back after
+ * heartbeat-gap-ms of silence, starts over with a fresh startup grace.
+ */
+@Component
+public class HealthProbeEngine {
+
+    private static final Logger logger = LoggerFactory.getLogger(HealthProbeEngine.class);
+
+    @Autowired
+    private HealthMonitorController controller;
+
+    @Autowired
+    private LeaderElector leaderElector;
+
+    @Autowired
+    private ReplicationHub replicationHub;
+
+    @Autowired
+    private EventLogger eventLogger;
+
+    @Value("${probe.enabled:true}")
+    private boolean enabled;
+
+    @Value("${probe.path:/health}")
+    private String path;
+
+    @Value("${probe.timeout-ms:2000}")
+    private long timeoutMillis;
+
+    // Healthy endpoints back off towards max-interval, failing ones are re-probed at min-interval
+    @Value("${probe.min-interval-ms:1000}")
+    private long minIntervalMillis;
+
+    @Value("${probe.max-interval-ms:10000}")
+    private long maxIntervalMillis;
+
+    @Value("${probe.failure-threshold:3}")
+    private int failureThreshold;
+
+    // Failures must go on this long before DOWN; same as the heartbeat timeout,
+    // so a short stall can't get a service restarted faster than silence would
+    @Value("${probe.down-after-ms:15000}")
+    private long downAfterMillis;
+
+    // Heartbeats resuming after this much silence mean the instance restarted
+    @Value("${probe.heartbeat-gap-ms:10000}")
+    private long heartbeatGapMillis;
+
+    // A new or restarted instance that never answers counts as DOWN after this long
+    @Value("${probe.startup-grace-ms:60000}")
+    private long startupGraceMillis;
+
+    @Value("${probe.max-in-flight:2000}")
+    private int maxInFlight;
+
+    private final Map<String, ProbeState> states = new ConcurrentHashMap<>();
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private Semaphore inFlight;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(4, r -> {
+            Thread t = new Thread(r, "health-probe");
+            t.setDaemon(true);
+            return t;
+        });
+        httpClient = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofMillis(timeoutMillis))
+                .executor(executor)
+                .build();
+        inFlight = new Semaphore(maxInFlight);
+        logger.info("🩻 Health probe engine {} (path {}, timeout {} ms, max in-flight {})",
+                enabled ? "enabled" : "disabled", path, timeoutMillis, maxInFlight);
+    }
+
+    /**
+     * Launch probes that are due. Never blocks: probes that would exceed
+     * max-in-flight simply wait for the next tick.
+     */
+    @Scheduled(fixedRateString = "${probe.tick-ms:250}")
+    public void probeDueServices() {
+        // Standby gets probe status through replication
+        if (!enabled || !leaderElector.isLeader()) {
+            return;
+        }
+
+        Map<String, ServiceInfo> services = controller.getServices();
+        states.keySet().retainAll(services.keySet());
+
+        long now = System.currentTimeMillis();
+        boolean backlogged = false;
+        for (ServiceInfo service : services.values()) {
+            ProbeState state = states.get(service.getServiceName());
+            if (state == null || state.service != service) {
+                // New or re-registered instance
+                state = new ProbeState(service, minIntervalMillis);
+                states.put(service.getServiceName(), state);
+            } else if (heartbeatResumed(service, state)) {
+                logger.debug("Heartbeats from {} resumed after a gap, restarting probe grace", service.getServiceName());
+                reset(service.getServiceName());
+            }
+            state.lastHeartbeatSeen = service.getLastHeartbeat();
+
+            if (backlogged || state.inFlight || now < state.nextProbeAt) {
+                continue;
+            }
+            if (!inFlight.tryAcquire()) {
+                // Keep walking the map so heartbeat gaps are still tracked
+                backlogged = true;
+                logger.debug("Probe backlog: {} probes in flight", maxInFlight);
+                continue;
+            }
+            state.inFlight = true;
+            sendProbe(service, state);
+        }
+    }
+
+    /**
+     * Forget probe history for a service after a successful restart.
+     * The new instance gets a fresh startup grace period.
+     */
+    public void reset(String serviceName) {
+        ProbeState state = states.get(serviceName);
+        if (state != null) {
+            state.reset(minIntervalMillis);
+        }
+        ServiceInfo service = controller.getServices().get(serviceName);
+        if (service != null) {
+            service.setProbeStatus("UNKNOWN");
+            replicationHub.markDirty(service);
+        }
+    }
+
+    private boolean heartbeatResumed(ServiceInfo service, ProbeState state) {
+        LocalDateTime previous = state.lastHeartbeatSeen;
+        LocalDateTime current = service.getLastHeartbeat();
+        return previous != null && current != null
+                && Duration.between(previous, current).toMillis() >= heartbeatGapMillis;
+    }
+
+    public int getInFlightCount() {
+        return maxInFlight - inFlight.availablePermits();
+    }
+
+    private void sendProbe(ServiceInfo service, ProbeState state) {
+        HttpRequest request;
+        try {
+            request = HttpRequest.newBuilder()
+                    .uri(URI.create("http://" + service.getHost() + ":" + service.getPort() + path))
+                    .timeout(Duration.ofMillis(timeoutMillis))
+                    .GET()
+                    .build();
+        } catch (Exception e) {
+            inFlight.release();
+            state.inFlight = false;
+            onFailure(service, state, "bad endpoint: " + e.getMessage());
+            return;
+        }
+
+        long start = System.nanoTime();
+        httpClient.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                .whenComplete((response, error) -> {
+                    service.setLastProbeLatencyMs((System.nanoTime() - start) / 1_000_000);
+                    if (error != null) {
+                        Throwable cause = error.getCause() != null ? error.getCause() : error;
+                        onFailure(service, state, cause.getClass().getSimpleName());
+                    } else if (response.statusCode() / 100 != 2) {
+                        onFailure(service, state, "HTTP " + response.statusCode());
+                    } else {
+                        onSuccess(service, state);
+                    }
+                    // Only after scheduleNext(), so the next tick can't re-probe early
+                    state.inFlight = false;
+                    inFlight.release();
+                });
+    }
+
+    private void onSuccess(ServiceInfo service, ProbeState state) {
+        if (isStale(service, state)) {
+            return;
+        }
+        synchronized (state) {
+            state.everAnswered = true;
+            state.consecutiveFailures = 0;
+            state.intervalMillis = Math.min(state.intervalMillis * 2, maxIntervalMillis);
+            state.scheduleNext();
+        }
+        if (!"UP".equals(service.getProbeStatus())) {
+            eventLogger.event("probe_status", "service", service.getServiceName(),
+                    "from", service.getProbeStatus(), "to", "UP");
+            service.setProbeStatus("UP");
+            replicationHub.markDirty(service);
+        }
+    }
+
+    private void onFailure(ServiceInfo service, ProbeState state, String reason) {
+        if (isStale(service, state)) {
+            return;
+        }
+        boolean down;
+        int failures;
+        synchronized (state) {
+            long now = System.currentTimeMillis();
+            if (state.consecutiveFailures++ == 0) {
+                state.failingSince = now;
+            }
+            state.intervalMillis = minIntervalMillis;
+            state.scheduleNext();
+            boolean graceOver = now - state.armedAt >= startupGraceMillis;
+            boolean lastedLongEnough = now - state.failingSince >= downAfterMillis;
+            down = state.consecutiveFailures >= failureThreshold && lastedLongEnough
+                    && (state.everAnswered || graceOver);
+            failures = state.consecutiveFailures;
+
+            if (!state.everAnswered && !graceOver && state.consecutiveFailures == failureThreshold) {
+                logger.warn("⚠️ {} not answering at {}:{}{} yet ({}), within startup grace",
+                        service.getServiceName(), service.getHost(), service.getPort(), path, reason);
+            }
+        }
+
+        if (down && !"DOWN".equals(service.getProbeStatus())) {
+            eventLogger.event("probe_status", "service", service.getServiceName(),
+                    "from", service.getProbeStatus(), "to", "DOWN", "reason", reason,
+                    "consecutiveFailures", failures);
+            service.setProbeStatus("DOWN");
+            replicationHub.markDirty(service);
+        } else {
+            logger.debug("Probe failed for {}: {}", service.getServiceName(), reason);
+        }
+    }
+
+    // Result of a probe sent to an instance that has since re-registered
+    private boolean isStale(ServiceInfo service, ProbeState state) {
+        return states.get(service.getServiceName()) != state;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static final class ProbeState {
+        final ServiceInfo service;
+        volatile boolean inFlight;
+        volatile long nextProbeAt;
+        long intervalMillis;
+        int consecutiveFailures;
+        long failingSince;
+        boolean everAnswered;
+        long armedAt = System.currentTimeMillis();
+        volatile LocalDateTime lastHeartbeatSeen;
+
+        ProbeState(ServiceInfo service, long intervalMillis) {
+            this.service = service;
+            this.intervalMillis = intervalMillis;
+            // Spread the first probes so 10k new endpoints don't fire in the same tick
+            this.nextProbeAt = System.currentTimeMillis() + ThreadLocalRandom.current().nextLong(Math.max(1, intervalMillis));
+        }
+
+        synchronized void reset(long minIntervalMillis) {
+            intervalMillis = minIntervalMillis;
+            consecutiveFailures = 0;
+            everAnswered = false;
+            armedAt = System.currentTimeMillis();
+            scheduleNext();
+        }
+
+        // +/-10% jitter keeps probes from synchronizing
+        void scheduleNext() {
+            long jitter = intervalMillis / 10;
+            long offset = jitter > 0 ? ThreadLocalRandom.current().nextLong(-jitter, jitter + 1) : 0;
+            nextProbeAt = System.currentTimeMillis() + intervalMillis + offset;
+        }
+    }
+}
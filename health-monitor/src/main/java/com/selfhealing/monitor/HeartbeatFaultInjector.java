@@ -0,0 +1,92 @@
+package com.selfhealing.monitor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Injects faults at the heartbeat ingestion layer.
+ * The controller asks this component before accepting each heartbeat,
+ * so heartbeats can be dropped or delayed without touching the services.
+ */
+@Component
+public class HeartbeatFaultInjector {
+
+    private final Map<String, Rule> rules = new ConcurrentHashMap<>();
+
+    /**
+     * Drop every heartbeat from a service until the given time.
+     *
+     * @param serviceName Name of the service
+     * @param untilMillis Epoch millis when the fault expires
+     */
+    public void dropUntil(String serviceName, long untilMillis) {
+        rules.put(serviceName, new Rule(true, 0, untilMillis));
+    }
+
+    /**
+     * Delay every heartbeat from a service until the given time.
+     *
+     * @param serviceName Name of the service
+     * @param delayMillis Delay applied to each heartbeat
+     * @param untilMillis Epoch millis when the fault expires
+     */
+    public void delayUntil(String serviceName, long delayMillis, long untilMillis) {
+        rules.put(serviceName, new Rule(false, delayMillis, untilMillis));
+    }
+
+    public void clear(String serviceName) {
+        rules.remove(serviceName);
+    }
+
+    public void clearAll() {
+        rules.clear();
+    }
+
+    /**
+     * Apply any active fault for this service.
+     * Sleeps on the calling thread if a delay is active.
+     *
+     * @param serviceName Name of the service sending the heartbeat
+     * @return true if the heartbeat should be accepted, false if it must be dropped
+     */
+    public boolean admit(String serviceName) {
+        if (rules.isEmpty()) {
+            return true;
+        }
+
+        Rule rule = rules.get(serviceName);
+        if (rule == null) {
+            return true;
+        }
+
+        if (System.currentTimeMillis() >= rule.untilMillis) {
+            rules.remove(serviceName, rule);
+            return true;
+        }
+
+        if (rule.drop) {
+            return false;
+        }
+
+        try {
+            Thread.sleep(rule.delayMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return true;
+    }
+
+    private static final class Rule {
+        final boolean drop;
+        final long delayMillis;
+        final long untilMillis;
+
+        Rule(boolean drop, long delayMillis, long untilMillis) {
+            this.drop = drop;
+            this.delayMillis = delayMillis;
+            this.untilMillis = untilMillis;
+        }
+    }
+}
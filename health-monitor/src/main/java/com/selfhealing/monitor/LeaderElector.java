@@ -0,0 +1,212 @@
+package com.selfhealing.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Properties;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lease-based leader election between health monitors on one machine.
+ *
+ * The lease lives in a file on a shared volume. Every renew interval each node
+ * takes a short OS file lock, reads the lease and, if it is expired or already
+ * ours, writes itself in with a new expiry. Only the leader detects failures,
+ * probes and heals; the standby streams state from the leader (see
+ * ReplicationClient) and takes over once the lease expires.
+ *
+ * Renewal runs on its own thread, so a long Docker call in FailureDetector
+ * (or any other @Scheduled task) can never make the lease run out.
+ *
+ * With ha.enabled=false (the default) this node is always leader.
+ */
+@Component
+public class LeaderElector {
+
+    private static final Logger logger = LoggerFactory.getLogger(LeaderElector.class);
+
+    @Value("${ha.enabled:false}")
+    private boolean enabled;
+
+    @Value("${ha.node-id:monitor}")
+    private String nodeId;
+
+    // URL the standby uses to reach this node when it is leader
+    @Value("${ha.advertise-url:http://localhost:8080}")
+    private String advertiseUrl;
+
+    @Value("${ha.lock-file:/shared/monitor-leader.lease}")
+    private String lockFile;
+
+    @Value("${ha.lease-ttl-ms:3000}")
+    private long leaseTtlMillis;
+
+    @Value("${ha.renew-interval-ms:1000}")
+    private long renewIntervalMillis;
+
+    // Leader steps down if it could not renew before its lease was this close to expiring
+    @Value("${ha.safety-margin-ms:500}")
+    private long safetyMarginMillis;
+
+    private volatile long leaseValidUntil = 0;
+    private volatile String leaderId;
+    private volatile String leaderUrl;
+    private boolean wasLeader = false;
+    private ScheduledExecutorService renewer;
+
+    @PostConstruct
+    public void init() {
+        if (!enabled) {
+            logger.info("👑 HA disabled, running as single LEADER");
+            return;
+        }
+        logger.info("👑 HA enabled: node {} competing for lease {}", nodeId, lockFile);
+        renew();
+        renewer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "leader-lease");
+            t.setDaemon(true);
+            return t;
+        });
+        renewer.scheduleAtFixedRate(this::renew, renewIntervalMillis, renewIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * True while this node holds a valid lease.
+     * The leader only trusts its lease until shortly before it expires, so it
+     * stops starting new actions before a standby can claim the lease. Callers
+     * should check right before each action: an action already in progress
+     * (e.g. a Docker restart) can still finish after leadership moved.
+     */
+    public boolean isLeader() {
+        return !enabled || System.currentTimeMillis() < leaseValidUntil - safetyMarginMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * @return Advertised URL of the current leader, or null if unknown
+     */
+    public String getLeaderUrl() {
+        return enabled ? leaderUrl : advertiseUrl;
+    }
+
+    public String getLeaderId() {
+        return enabled ? leaderId : nodeId;
+    }
+
+    void renew() {
+        if (!enabled) {
+            return;
+        }
+
+        // Measure expiry from before we touch the file: conservative if the lock is slow
+        long start = System.currentTimeMillis();
+
+        try {
+            Path path = Paths.get(lockFile);
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+
+            // Closing the channel releases the lock
+            try (FileChannel channel = FileChannel.open(path,
+                    StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                channel.lock();
+
+                Properties lease = read(channel);
+                String owner = lease.getProperty("owner");
+                long expiresAt = Long.parseLong(lease.getProperty("expiresAt", "0"));
+                long now = System.currentTimeMillis();
+
+                if (owner == null || nodeId.equals(owner) || now >= expiresAt) {
+                    lease.setProperty("owner", nodeId);
+                    lease.setProperty("url", advertiseUrl);
+                    lease.setProperty("expiresAt", String.valueOf(start + leaseTtlMillis));
+                    write(channel, lease);
+                    leaseValidUntil = start + leaseTtlMillis;
+                    leaderId = nodeId;
+                    leaderUrl = advertiseUrl;
+                } else {
+                    leaseValidUntil = 0;
+                    leaderId = owner;
+                    leaderUrl = lease.getProperty("url");
+                }
+            }
+        } catch (Exception e) {
+            // Keep whatever lease we had; isLeader() lets it run out on its own
+            logger.error("❌ Lease renewal failed: {}", e.getMessage());
+        }
+
+        boolean leader = isLeader();
+        if (leader && !wasLeader) {
+            logger.warn("👑 {} became LEADER - taking over detection and healing", nodeId);
+        } else if (!leader && wasLeader) {
+            logger.warn("🪑 {} is now STANDBY (leader: {})", nodeId, leaderId);
+        }
+        wasLeader = leader;
+    }
+
+    /**
+     * Give up the lease on shutdown so the standby takes over immediately.
+     */
+    @PreDestroy
+    public void release() {
+        if (renewer != null) {
+            renewer.shutdownNow();
+        }
+        if (!enabled || !isLeader()) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(lockFile),
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            channel.lock();
+            Properties lease = read(channel);
+            if (nodeId.equals(lease.getProperty("owner"))) {
+                lease.setProperty("expiresAt", "0");
+                write(channel, lease);
+            }
+            leaseValidUntil = 0;
+            logger.info("👑 {} released leadership", nodeId);
+        } catch (Exception e) {
+            logger.error("❌ Failed to release lease: {}", e.getMessage());
+        }
+    }
+
+    private static Properties read(FileChannel channel) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate((int) Math.max(channel.size(), 0));
+        channel.read(buffer, 0);
+        Properties lease = new Properties();
+        lease.load(new StringReader(new String(buffer.array(), StandardCharsets.UTF_8)));
+        return lease;
+    }
+
+    private static void write(FileChannel channel, Properties lease) throws Exception {
+        StringWriter out = new StringWriter();
+        lease.store(out, null);
+        byte[] bytes = out.toString().getBytes(StandardCharsets.UTF_8);
+        channel.truncate(0);
+        channel.write(ByteBuffer.wrap(bytes), 0);
+        channel.force(true);
+    }
+}
@@ -0,0 +1,205 @@
+package com.selfhealing.monitor;
+
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Measures how fast failures are detected and healed.
+ * ChaosEngine records every injected fault here; FailureDetector and
+ * the heartbeat controller report DEAD / RECOVERED transitions, which
+ * close out the open faults for that service.
+ */
+@Component
+public class RecoveryTracker {
+
+    private final Map<String, List<FaultRecord>> recordsByCampaign = new HashMap<>();
+    private final Map<String, List<FaultRecord>> openByService = new HashMap<>();
+    private long nextFaultId = 1;
+
+    /**
+     * Record that a fault was just injected.
+     *
+     * @param campaignId  Campaign the fault belongs to
+     * @param type        Fault type (KILL, PAUSE, ...)
+     * @param serviceName Target service, or null for faults without a single target
+     * @return The new record
+     */
+    public synchronized FaultRecord recordInjection(String campaignId, String type, String serviceName) {
+        FaultRecord record = new FaultRecord(nextFaultId++, campaignId, type, serviceName, System.currentTimeMillis());
+        recordsByCampaign.computeIfAbsent(campaignId, k -> new ArrayList<>()).add(record);
+        if (serviceName != null) {
+            openByService.computeIfAbsent(serviceName, k -> new ArrayList<>()).add(record);
+        }
+        return record;
+    }
+
+    /**
+     * Called when FailureDetector marks a service DEAD.
+     */
+    public synchronized void onServiceDead(String serviceName) {
+        List<FaultRecord> open = openByService.get(serviceName);
+        if (open == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (FaultRecord record : open) {
+            if (record.detectedAt == null) {
+                record.detectedAt = now;
+            }
+        }
+    }
+
+    /**
+     * Called when a DEAD service is seen healthy again.
+     * Only faults that were actually detected are closed here.
+     */
+    public synchronized void onServiceRecovered(String serviceName) {
+        List<FaultRecord> open = openByService.get(serviceName);
+        if (open == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Iterator<FaultRecord> it = open.iterator();
+        while (it.hasNext()) {
+            FaultRecord record = it.next();
+            if (record.detectedAt != null) {
+                record.recoveredAt = now;
+                it.remove();
+            }
+        }
+        if (open.isEmpty()) {
+            openByService.remove(serviceName);
+        }
+    }
+
+    /**
+     * Mark a fault whose injection failed (e.g. Docker call error).
+     * It is kept in the report but no longer waits for detection.
+     */
+    public synchronized void markFailed(FaultRecord record, String error) {
+        record.error = error;
+        if (record.serviceName != null) {
+            List<FaultRecord> open = openByService.get(record.serviceName);
+            if (open != null) {
+                open.remove(record);
+                if (open.isEmpty()) {
+                    openByService.remove(record.serviceName);
+                }
+            }
+        }
+    }
+
+    /**
+     * Give up on faults of a campaign that were never detected.
+     * Used once a fault window has passed without the service going DEAD
+     * (e.g. a short heartbeat delay that stays under the failure threshold).
+     */
+    public synchronized void closeUndetected(String campaignId) {
+        for (List<FaultRecord> open : openByService.values()) {
+            open.removeIf(record -> campaignId.equals(record.campaignId) && record.detectedAt == null);
+        }
+        openByService.values().removeIf(List::isEmpty);
+    }
+
+    /**
+     * Stop waiting on the open faults of a campaign (e.g. when its recovery timeout expires).
+     */
+    public synchronized void closeCampaign(String campaignId) {
+        for (List<FaultRecord> open : openByService.values()) {
+            open.removeIf(record -> campaignId.equals(record.campaignId));
+        }
+        openByService.values().removeIf(List::isEmpty);
+    }
+
+    /**
+     * Drop all records of a campaign (its report is already on disk).
+     */
+    public synchronized void forgetCampaign(String campaignId) {
+        closeCampaign(campaignId);
+        recordsByCampaign.remove(campaignId);
+    }
+
+    /**
+     * True once every targeted fault of the campaign has recovered.
+     */
+    public synchronized boolean isCampaignSettled(String campaignId) {
+        for (List<FaultRecord> open : openByService.values()) {
+            for (FaultRecord record : open) {
+                if (campaignId.equals(record.campaignId)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Snapshot of all fault records for a campaign.
+     */
+    public synchronized List<FaultRecord> getRecords(String campaignId) {
+        List<FaultRecord> records = recordsByCampaign.get(campaignId);
+        if (records == null) {
+            return Collections.emptyList();
+        }
+        List<FaultRecord> copy = new ArrayList<>();
+        for (FaultRecord record : records) {
+            copy.add(record.copy());
+        }
+        return copy;
+    }
+
+    /**
+     * One injected fault and its measured outcome.
+     */
+    public static class FaultRecord {
+        private final long faultId;
+        private final String campaignId;
+        private final String type;
+        private final String serviceName;
+        private final long injectedAt;
+        private Long detectedAt;
+        private Long recoveredAt;
+        private String error;
+
+        FaultRecord(long faultId, String campaignId, String type, String serviceName, long injectedAt) {
+            this.faultId = faultId;
+            this.campaignId = campaignId;
+            this.type = type;
+            this.serviceName = serviceName;
+            this.injectedAt = injectedAt;
+        }
+
+        FaultRecord copy() {
+            FaultRecord copy = new FaultRecord(faultId, campaignId, type, serviceName, injectedAt);
+            copy.detectedAt = detectedAt;
+            copy.recoveredAt = recoveredAt;
+            copy.error = error;
+            return copy;
+        }
+
+        public long getFaultId() { return faultId; }
+        public String getCampaignId() { return campaignId; }
+        public String getType() { return type; }
+        public String getServiceName() { return serviceName; }
+        public long getInjectedAt() { return injectedAt; }
+        public Long getDetectedAt() { return detectedAt; }
+        public Long getRecoveredAt() { return recoveredAt; }
+        public String getError() { return error; }
+
+        // Time from injection until FailureDetector marked the service DEAD
+        public Long getDetectionLatencyMs() {
+            return detectedAt == null ? null : detectedAt - injectedAt;
+        }
+
+        // Time from injection until the service was healthy again
+        public Long getTimeToRecoverMs() {
+            return recoveredAt == null ? null : recoveredAt - injectedAt;
+        }
+    }
+}
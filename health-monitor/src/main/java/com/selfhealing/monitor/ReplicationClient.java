@@ -0,0 +1,160 @@
+package com.selfhealing.monitor;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Standby side of state replication.
+ * While this node is not leader it keeps a stream open to the leader's
+ * /monitor/replication/stream and merges every batch into the local services
+ * map, so a takeover starts with warm state instead of an empty map.
+ */
+@Component
+public class ReplicationClient {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationClient.class);
+    private static final TypeReference<List<ServiceInfo>> BATCH = new TypeReference<List<ServiceInfo>>() {};
+    // Leader pings at least every couple of seconds; silence longer than this means a hung stream
+    private static final long STREAM_IDLE_TIMEOUT_MS = 5000;
+
+    @Autowired
+    private LeaderElector leaderElector;
+
+    @Autowired
+    private HealthMonitorController controller;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private ExecutorService executor;
+    private HttpClient httpClient;
+    private volatile Future<?> stream;
+    private volatile InputStream body;
+    private volatile String streamUrl;
+    private volatile long lastBatchAt;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "replication-client");
+            t.setDaemon(true);
+            return t;
+        });
+        httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+    }
+
+    /**
+     * Open, keep or close the stream depending on the current role.
+     */
+    @Scheduled(fixedDelayString = "${ha.renew-interval-ms:1000}")
+    public void maintainStream() {
+        if (!leaderElector.isEnabled()) {
+            return;
+        }
+
+        String leaderUrl = leaderElector.getLeaderUrl();
+        boolean shouldStream = !leaderElector.isLeader() && leaderUrl != null;
+        boolean streaming = stream != null && !stream.isDone();
+
+        boolean idle = System.currentTimeMillis() - lastBatchAt > STREAM_IDLE_TIMEOUT_MS;
+        if (streaming && (!shouldStream || !leaderUrl.equals(streamUrl) || idle)) {
+            disconnect();
+            streaming = false;
+        }
+        if (shouldStream && !streaming) {
+            connect(leaderUrl);
+        }
+    }
+
+    public long getLastBatchAt() {
+        return lastBatchAt;
+    }
+
+    private void connect(String leaderUrl) {
+        streamUrl = leaderUrl;
+        lastBatchAt = System.currentTimeMillis();
+        stream = executor.submit(() -> {
+            try {
+                HttpRequest request = HttpRequest.newBuilder()
+                        .uri(URI.create(leaderUrl + "/monitor/replication/stream"))
+                        .header("Accept", "text/event-stream")
+                        .GET()
+                        .build();
+                HttpResponse<InputStream> response = httpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                if (response.statusCode() != 200) {
+                    logger.warn("🔁 Leader {} refused replication stream: HTTP {}", leaderUrl, response.statusCode());
+                    response.body().close();
+                    return;
+                }
+
+                body = response.body();
+                logger.info("🔁 Replicating state from leader {}", leaderUrl);
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.startsWith("data:")) {
+                            apply(objectMapper.readValue(line.substring(5), BATCH));
+                        }
+                    }
+                }
+                logger.warn("🔁 Replication stream from {} ended", leaderUrl);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (Exception e) {
+                logger.warn("🔁 Replication stream from {} failed: {}", leaderUrl, e.getMessage());
+            }
+        });
+    }
+
+    private void apply(List<ServiceInfo> batch) {
+        lastBatchAt = System.currentTimeMillis();
+        for (ServiceInfo replica : batch) {
+            controller.applyReplicatedState(replica);
+        }
+    }
+
+    private void disconnect() {
+        try {
+            InputStream current = body;
+            if (current != null) {
+                current.close(); // unblocks readLine()
+            }
+        } catch (Exception e) {
+            logger.debug("Error closing replication stream: {}", e.getMessage());
+        }
+        if (stream != null) {
+            stream.cancel(true);
+        }
+        body = null;
+        stream = null;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        disconnect();
+        executor.shutdownNow();
+    }
+}
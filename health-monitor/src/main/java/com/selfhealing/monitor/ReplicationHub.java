@@ -0,0 +1,145 @@
+package com.selfhealing.monitor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Leader side of state replication.
+ * Heartbeats, registrations and status changes only mark a service dirty;
+ * a scheduled flush sends the changed ServiceInfo entries to every connected
+ * standby as one Server-Sent Event. Request threads never block on standbys,
+ * and sends run on their own "replication-sender" thread so a slow standby
+ * socket can't hold up the Spring scheduler.
+ */
+@Component
+public class ReplicationHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicationHub.class);
+    private static final int PING_EVERY_FLUSHES = 10;
+
+    private final Map<String, ServiceInfo> dirty = new ConcurrentHashMap<>();
+    private final List<SseEmitter> subscribers = new CopyOnWriteArrayList<>();
+    private int flushesSinceSend = 0;
+    private ScheduledExecutorService sender;
+
+    @Value("${ha.replication-interval-ms:200}")
+    private long replicationIntervalMillis;
+
+    @PostConstruct
+    public void init() {
+        sender = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "replication-sender");
+            t.setDaemon(true);
+            return t;
+        });
+        // Fixed delay: a stalled send postpones the next flush instead of piling them up
+        sender.scheduleWithFixedDelay(() -> {
+            try {
+                flush();
+            } catch (Exception e) {
+                // An escaped exception would cancel the schedule for good
+                logger.error("❌ Replication flush failed: {}", e.getMessage());
+            }
+        }, replicationIntervalMillis, replicationIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Queue a service for the next replication flush.
+     */
+    public void markDirty(ServiceInfo service) {
+        if (!subscribers.isEmpty()) {
+            dirty.put(service.getServiceName(), service);
+        }
+    }
+
+    /**
+     * Add a standby. The caller sends it the full snapshot right after.
+     */
+    void subscribe(SseEmitter emitter) {
+        subscribers.add(emitter);
+        emitter.onCompletion(() -> subscribers.remove(emitter));
+        emitter.onTimeout(() -> subscribers.remove(emitter));
+        emitter.onError(e -> subscribers.remove(emitter));
+        logger.info("🔁 Standby subscribed to replication ({} total)", subscribers.size());
+    }
+
+    private void flush() {
+        if (subscribers.isEmpty()) {
+            dirty.clear();
+            return;
+        }
+
+        List<ServiceInfo> batch = new ArrayList<>();
+        for (String name : dirty.keySet()) {
+            ServiceInfo service = dirty.remove(name);
+            if (service != null) {
+                batch.add(service);
+            }
+        }
+
+        // Send an empty batch now and then so dead connections are noticed
+        if (batch.isEmpty() && ++flushesSinceSend < PING_EVERY_FLUSHES) {
+            return;
+        }
+        flushesSinceSend = 0;
+
+        for (SseEmitter emitter : subscribers) {
+            try {
+                emitter.send(SseEmitter.event().name("update").data(batch));
+            } catch (Exception e) {
+                subscribers.remove(emitter);
+                emitter.completeWithError(e);
+                logger.warn("🔁 Dropped standby subscriber: {}", e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        sender.shutdownNow();
+    }
+}
+
+@RestController
+@RequestMapping("/monitor/replication")
+@CrossOrigin(origins = "*")
+class ReplicationController {
+
+    @Autowired
+    private HealthMonitorController controller;
+
+    @Autowired
+    private ReplicationHub replicationHub;
+
+    /**
+     * Stream of ServiceInfo batches: full snapshot first, then changes.
+     */
+    @GetMapping("/stream")
+    public SseEmitter stream() throws Exception {
+        SseEmitter emitter = new SseEmitter(0L); // never time out
+        // Subscribe before the snapshot so no change falls in between
+        replicationHub.subscribe(emitter);
+        emitter.send(SseEmitter.event().name("update")
+                .data(new ArrayList<>(controller.getServices().values())));
+        return emitter;
+    }
+}
@@ -0,0 +1,67 @@
+package com.selfhealing.monitor;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free ring buffer: many producers, one consumer.
+ * Producers claim a slot with a CAS on the tail and never block;
+ * offer() returns false when the buffer is full so the caller can drop.
+ *
+ * @param <T> Element type
+ */
+public final class RingBuffer<T> {
+
+    private final AtomicReferenceArray<T> slots;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private volatile long head = 0; // written by the consumer only
+
+    /**
+     * @param capacity Rounded up to a power of two
+     */
+    public RingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+        this.slots = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    /**
+     * Add an element without blocking.
+     *
+     * @return false if the buffer is full
+     */
+    public boolean offer(T item) {
+        while (true) {
+            long t = tail.get();
+            if (t - head >= slots.length()) {
+                return false;
+            }
+            if (tail.compareAndSet(t, t + 1)) {
+                slots.lazySet((int) (t & mask), item);
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Take the next element. Must only be called from the consumer thread.
+     *
+     * @return The element, or null if nothing is published yet
+     */
+    public T poll() {
+        long h = head;
+        int index = (int) (h & mask);
+        T item = slots.get(index);
+        if (item == null) {
+            return null;
+        }
+        slots.lazySet(index, null);
+        head = h + 1;
+        return item;
+    }
+
+    public int capacity() {
+        return slots.length();
+    }
+}
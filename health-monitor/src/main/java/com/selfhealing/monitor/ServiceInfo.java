@@ -0,0 +1,48 @@
+package com.selfhealing.monitor;
+
+import java.time.LocalDateTime;
+
+// Service information storage
+class ServiceInfo {
+    private String serviceName;
+    private String host;
+    private int port;
+    private LocalDateTime lastHeartbeat;
+    private String status;
+    private LocalDateTime lastStatusChange;
+    private String probeStatus = "UNKNOWN";
+    private long lastProbeLatencyMs;
+    private boolean restartPending;
+
+    public ServiceInfo() {}
+
+    // Getters and Setters
+    public String getServiceName() { return serviceName; }
+    public void setServiceName(String serviceName) { this.serviceName = serviceName; }
+
+    public String getHost() { return host; }
+    public void setHost(String host) { this.host = host; }
+
+    public int getPort() { return port; }
+    public void setPort(int port) { this.port = port; }
+
+    public LocalDateTime getLastHeartbeat() { return lastHeartbeat; }
+    public void setLastHeartbeat(LocalDateTime lastHeartbeat) { this.lastHeartbeat = lastHeartbeat; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+
+    public LocalDateTime getLastStatusChange() { return lastStatusChange; }
+    public void setLastStatusChange(LocalDateTime lastStatusChange) { this.lastStatusChange = lastStatusChange; }
+
+    // Set by HealthProbeEngine: UNKNOWN, UP or DOWN
+    public String getProbeStatus() { return probeStatus; }
+    public void setProbeStatus(String probeStatus) { this.probeStatus = probeStatus; }
+
+    public long getLastProbeLatencyMs() { return lastProbeLatencyMs; }
+    public void setLastProbeLatencyMs(long lastProbeLatencyMs) { this.lastProbeLatencyMs = lastProbeLatencyMs; }
+
+    // Set by FailureDetector while a restart is owed; replicated so a new leader finishes it
+    public boolean isRestartPending() { return restartPending; }
+    public void setRestartPending(boolean restartPending) { this.restartPending = restartPending; }
+}
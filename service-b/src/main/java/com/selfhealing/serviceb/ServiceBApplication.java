@@ -8,8 +8,11 @@ import org.springframework.stereotype.Service;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.client.RestTemplate;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
 import org.springframework.context.annotation.Bean;
 import org.springframework.beans.factory.annotation.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -24,13 +27,20 @@ public class ServiceBApplication {
     
     @Bean
     public RestTemplate restTemplate() {
-        return new RestTemplate();
+        // Short timeouts so one unreachable monitor doesn't delay heartbeats to the others
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(2000);
+        factory.setReadTimeout(2000);
+        return new RestTemplate(factory);
     }
 }
 
 @Service
 class HeartbeatService {
     
+    private static final Logger logger = LoggerFactory.getLogger(HeartbeatService.class);
+    private static final int FAILURE_LOG_EVERY = 12;
+    
     private final RestTemplate restTemplate;
     
     @Value("${spring.application.name}")
@@ -39,8 +49,16 @@ class HeartbeatService {
     @Value("${server.port}")
     private int port;
     
+    // Comma-separated: heartbeats go to every monitor (leader and standby)
     @Value("${MONITOR_URL:http://localhost:8080/monitor/heartbeat}")
-private String monitorUrl;
+private String[] monitorUrls;
+    
+    // Address the Health Monitor uses to probe /health (container name under Docker Compose)
+    @Value("${SERVICE_HOST:localhost}")
+    private String host;
+    
+    // Per monitor URL; only touched by the scheduler thread
+    private final Map<String, Integer> consecutiveFailures = new HashMap<>();
     
     public HeartbeatService(RestTemplate restTemplate) {
         this.restTemplate = restTemplate;
@@ -48,17 +66,30 @@ private String monitorUrl;
     
     @Scheduled(fixedRate = 5000)
     public void sendHeartbeat() {
-        try {
-            Map<String, Object> heartbeatData = new HashMap<>();
-            heartbeatData.put("serviceName", serviceName);
-            heartbeatData.put("host", "localhost");
-            heartbeatData.put("port", port);
-            
-            restTemplate.postForObject(monitorUrl, heartbeatData, String.class);
-            System.out.println("💓 Heartbeat sent to Health Monitor");
-            
-        } catch (Exception e) {
-            System.out.println("❌ Failed to send heartbeat: " + e.getMessage());
+        Map<String, Object> heartbeatData = new HashMap<>();
+        heartbeatData.put("serviceName", serviceName);
+        heartbeatData.put("host", host);
+        heartbeatData.put("port", port);
+        
+        for (String monitorUrl : monitorUrls) {
+            String url = monitorUrl.trim();
+            try {
+                restTemplate.postForObject(url, heartbeatData, String.class);
+                
+                Integer failures = consecutiveFailures.remove(url);
+                if (failures != null) {
+                    logger.info("💓 Heartbeats to {} resumed after {} failures", url, failures);
+                } else {
+                    logger.debug("💓 Heartbeat sent to {}", url);
+                }
+                
+            } catch (Exception e) {
+                // First failure and then about once a minute, not every 5 seconds
+                int failures = consecutiveFailures.merge(url, 1, Integer::sum);
+                if (failures % FAILURE_LOG_EVERY == 1) {
+                    logger.warn("❌ Failed to send heartbeat to {} ({} in a row): {}", url, failures, e.getMessage());
+                }
+            }
         }
     }
 }